@@ -4,56 +4,150 @@ import com.chatapp.client.gui.DashboardFrame;
 import com.chatapp.model.Message;
 import com.chatapp.model.Message.MessageType;
 
+import javax.swing.*;
 import java.io.*;
 import java.net.Socket;
+import java.util.concurrent.ExecutionException;
 
 public class ChatClient {
 
     private static final String SERVER_HOST = "localhost";
     private static final int    SERVER_PORT = 12345;
 
+    // how long to wait for JOIN_ACCEPT / JOIN_REJECT; longer than the server's own 10s login check
+    private static final int  HANDSHAKE_TIMEOUT_MILLIS = 15000;
+    private static final int  RECONNECT_ATTEMPTS       = 5;
+    private static final long RECONNECT_DELAY_MILLIS   = 2000;
+
     private String username;
-    private Socket socket;
-    private ObjectOutputStream out;
-    private ObjectInputStream  in;
+    private volatile String sessionToken;
+    private volatile Socket socket;
+    private volatile ObjectOutputStream out;
+    private volatile ObjectInputStream  in;
 
     private DashboardFrame dashboard;
 
-    public ChatClient(String username) {
+    public ChatClient(String username, String password) {
         this.username = username;
 
-        try {
-            socket = new Socket(SERVER_HOST, SERVER_PORT);
-            out    = new ObjectOutputStream(socket.getOutputStream());
-            in     = new ObjectInputStream(socket.getInputStream());
+        // the handshake waits for the server to hash the password, so keep it off the event thread
+        new SwingWorker<Message, Void>() {
+            @Override
+            protected Message doInBackground() throws Exception {
+                // first thing — send JOIN message with the password
+                return connect(new Message(MessageType.JOIN, username, "SERVER", password));
+            }
 
-            // first thing — send JOIN message
-            sendMessage(new Message(MessageType.JOIN, username, "SERVER", ""));
+            @Override
+            protected void done() {
+                Message reply;
+                try {
+                    reply = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.out.println("Could not connect to server: " + cause.getMessage());
+                    backToLogin("Could not connect to server: " + cause.getMessage());
+                    return;
+                }
+                if (reply.getType() != MessageType.JOIN_ACCEPT) {
+                    closeSocket();
+                    backToLogin(reply.getContent());
+                    return;
+                }
+                sessionToken = reply.getContent();
+
+                // open dashboard
+                dashboard = new DashboardFrame(ChatClient.this, username);
+
+                // start listening for messages from server
+                Thread listenerThread = new Thread(ChatClient.this::listenFromServer);
+                listenerThread.setDaemon(true);
+                listenerThread.start();
+            }
+        }.execute();
+    }
 
-            // open dashboard
-            dashboard = new DashboardFrame(this, username);
+    // opens a fresh connection, sends the login message and waits for JOIN_ACCEPT or JOIN_REJECT
+    // the new streams only replace the current ones once the server has replied
+    private Message connect(Message login) throws IOException, ClassNotFoundException {
+        Socket newSocket = new Socket(SERVER_HOST, SERVER_PORT);
+        try {
+            newSocket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+            ObjectOutputStream newOut = new ObjectOutputStream(newSocket.getOutputStream());
+            ObjectInputStream  newIn  = new ObjectInputStream(newSocket.getInputStream());
+            newOut.writeObject(login);
+            newOut.flush();
+            Message reply = (Message) newIn.readObject();
+            newSocket.setSoTimeout(0);
+            socket = newSocket;
+            out    = newOut;
+            in     = newIn;
+            return reply;
+        } catch (IOException | ClassNotFoundException e) {
+            newSocket.close();
+            throw e;
+        }
+    }
 
-            // start listening for messages from server
-            Thread listenerThread = new Thread(this::listenFromServer);
-            listenerThread.setDaemon(true);
-            listenerThread.start();
+    private void listenFromServer() {
+        while (true) {
+            try {
+                while (true) {
+                    Message message = (Message) in.readObject();
+                    handleIncoming(message);
+                }
+            } catch (IOException | ClassNotFoundException e) {
+                System.out.println("Disconnected from server.");
+            }
+            closeSocket();
+            if (!reconnect()) {
+                SwingUtilities.invokeLater(() -> {
+                    dashboard.dispose();
+                    backToLogin("Lost connection to server, please log in again");
+                });
+                return;
+            }
+        }
+    }
 
-        } catch (IOException e) {
-            System.out.println("Could not connect to server: " + e.getMessage());
+    // resumes the session with the cached token, so the server skips the password hash
+    private boolean reconnect() {
+        for (int attempt = 1; attempt <= RECONNECT_ATTEMPTS; attempt++) {
+            try {
+                Thread.sleep(RECONNECT_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            try {
+                Message reply = connect(new Message(MessageType.RESUME, username, "SERVER", sessionToken));
+                if (reply.getType() == MessageType.JOIN_ACCEPT) {
+                    System.out.println("Reconnected to server.");
+                    return true;
+                }
+                // the token is no longer valid, retrying won't help
+                System.out.println("Reconnect refused: " + reply.getContent());
+                closeSocket();
+                return false;
+            } catch (IOException | ClassNotFoundException e) {
+                System.out.println("Reconnect failed: " + e.getMessage());
+            }
         }
+        return false;
     }
 
-    private void listenFromServer() {
+    private void closeSocket() {
         try {
-            while (true) {
-                Message message = (Message) in.readObject();
-                handleIncoming(message);
-            }
-        } catch (IOException | ClassNotFoundException e) {
-            System.out.println("Disconnected from server.");
+            socket.close();
+        } catch (IOException e) {
         }
     }
 
+    private void backToLogin(String reason) {
+        JOptionPane.showMessageDialog(null, reason, "Login failed", JOptionPane.ERROR_MESSAGE);
+        new com.chatapp.client.gui.LoginFrame();
+    }
+
     private void handleIncoming(Message message) {
         switch (message.getType()) {
 
@@ -6,10 +6,11 @@ import java.awt.event.*;
 
 public class LoginFrame extends JFrame{
 	private JTextField usernameField;
+	private JPasswordField passwordField;
 	private JButton joinButton;
 	public LoginFrame() {
 		setTitle("Chat App - Login");
-		setSize(400,250);
+		setSize(400,300);
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		setLocationRelativeTo(null);
 		setResizable(false);
@@ -51,6 +52,23 @@ public class LoginFrame extends JFrame{
 		gbc.gridy = 1;
 		mainPanel.add(usernameField,gbc);
 		
+		JLabel passwordLabel = new JLabel("Password :");
+		passwordLabel.setForeground(textColor);
+		passwordLabel.setFont(new Font("Ariel",Font.PLAIN,14));
+		gbc.gridx = 0;
+		gbc.gridy = 2;
+		mainPanel.add(passwordLabel,gbc);
+		
+		passwordField = new JPasswordField(15);
+		passwordField.setBackground(panelColor);
+		passwordField.setForeground(textColor);
+		passwordField.setCaretColor(textColor);
+		passwordField.setBorder(BorderFactory.createLineBorder(accentColor));
+		passwordField.setFont(new Font("Ariel",Font.PLAIN,14));
+		gbc.gridx = 1;
+		gbc.gridy = 2;
+		mainPanel.add(passwordField,gbc);
+		
 		joinButton = new JButton("join");
 		joinButton.setBackground(accentColor);
 		joinButton.setForeground(Color.WHITE);
@@ -59,13 +77,14 @@ public class LoginFrame extends JFrame{
 		joinButton.setBorderPainted(false);
 		joinButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
 		gbc.gridx = 0;
-		gbc.gridy = 2;
+		gbc.gridy = 3;
 		gbc.gridwidth = 2;
 		mainPanel.add(joinButton, gbc);
 		add(mainPanel);
 		
 		joinButton.addActionListener(e -> handleJoin());
 		usernameField.addActionListener(e -> handleJoin());
+		passwordField.addActionListener(e -> handleJoin());
 		
 		setVisible(true);
 		
@@ -76,7 +95,12 @@ public class LoginFrame extends JFrame{
 			JOptionPane.showMessageDialog(this,"Please enter you name","Warning",JOptionPane.WARNING_MESSAGE);
 			return;
 		}
+		String password = new String(passwordField.getPassword());
+		if(password.isEmpty()) {
+			JOptionPane.showMessageDialog(this,"Please enter your password","Warning",JOptionPane.WARNING_MESSAGE);
+			return;
+		}
 		dispose();
-		new ChatClient(username);
+		new ChatClient(username, password);
 		}
 }
@@ -4,6 +4,9 @@ public class Message implements Serializable{
 	private static final long serialVersionUID = 1L;
 	public enum MessageType{
 		JOIN,
+		RESUME,
+		JOIN_ACCEPT,
+		JOIN_REJECT,
 		LEAVE,
 		USER_LIST,
 		CHAT_REQUEST,
@@ -1,17 +1,31 @@
 package com.chatapp.server;
 
+import com.chatapp.server.auth.AuthService;
+import com.chatapp.server.auth.FileAuthenticator;
+
+import java.io.File;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
 public class ChatServer {
 	private static final int PORT = 12345;
+	private static final String USERS_FILE = "users.properties";
+	private static final int AUTH_THREADS = 2;
+	private static final int AUTH_QUEUE_SIZE = 64;
 	public static void main(String[] arg) {
+		AuthService authService;
+		try {
+			authService = new AuthService(new FileAuthenticator(new File(USERS_FILE)), AUTH_THREADS, AUTH_QUEUE_SIZE);
+		}catch(IllegalStateException e) {
+			System.out.println("Server error : "+ e.getMessage());
+			return;
+		}
 		System.out.println("chat Server started on port "+PORT);
 		try(ServerSocket serverSocket = new ServerSocket(PORT)){
 			while(true) {
 				Socket clientSocket = serverSocket.accept();
 				System.out.println("New client connected: "+clientSocket.getInetAddress());
-				ClientHandler handler = new ClientHandler(clientSocket);
+				ClientHandler handler = new ClientHandler(clientSocket, authService);
 				Thread thread = new Thread(handler);
 				thread.start();
 			}
@@ -1,19 +1,23 @@
 package com.chatapp.server;
 import com.chatapp.model.Message;
 import com.chatapp.model.Message.MessageType;
+import com.chatapp.server.auth.AuthService;
 
 import java.io.*;
 import java.net.Socket;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 public class ClientHandler implements Runnable{
 	public static ConcurrentHashMap<String,ClientHandler> connectedClients = new ConcurrentHashMap<>();
 	private Socket socket;
+	private AuthService authService;
 	private String username;
 	private ObjectInputStream in;
 	private ObjectOutputStream out;
 	
-	public ClientHandler(Socket socket) {
+	public ClientHandler(Socket socket, AuthService authService) {
 		this.socket = socket;
+		this.authService = authService;
 	}
 	@Override
 	public void run() {
@@ -21,12 +25,9 @@ public class ClientHandler implements Runnable{
 			out = new ObjectOutputStream(socket.getOutputStream());
 			in = new ObjectInputStream(socket.getInputStream());
 			Message firstMessage = (Message) in.readObject();
-			if(firstMessage.getType() == MessageType.JOIN) {
-				username = firstMessage.getFrom();
-				connectedClients.put(username,this);
-				System.out.println(username+ "joined");
-				broadcastUserList();
-			}
+			if(!join(firstMessage)) return;
+			System.out.println(username+ " joined");
+			broadcastUserList();
 			while(true) {
 				Message message = (Message) in.readObject();
 				handleMessage(message);
@@ -35,14 +36,58 @@ public class ClientHandler implements Runnable{
 			System.out.println(username+ " disconnected");
 		}finally {
 			if(username != null) {
-				connectedClients.remove(username);
+				connectedClients.remove(username,this);
 				broadcastUserList();
 			}
+			close();
+		}
+	}
+	private boolean join(Message message) throws IOException {
+		String name;
+		String token;
+		if(message.getType() == MessageType.RESUME) {
+			token = message.getContent();
+			name = authService.resume(token);
+			if(name == null || !name.equals(message.getFrom())) {
+				sendMessage(new Message(MessageType.JOIN_REJECT,"SERVER",message.getFrom(),"Session expired, please log in again"));
+				return false;
+			}
+		}else if(message.getType() == MessageType.JOIN) {
+			name = message.getFrom();
 			try {
-				socket.close();
-			}catch(IOException e) {
-				
+				token = authService.login(name, message.getContent());
+			}catch(RejectedExecutionException e) {
+				System.out.println("Login for "+name+" not checked : "+e.getMessage());
+				sendMessage(new Message(MessageType.JOIN_REJECT,"SERVER",name,"Server busy, try again"));
+				return false;
 			}
+			if(token == null) {
+				sendMessage(new Message(MessageType.JOIN_REJECT,"SERVER",name,"Wrong username or password"));
+				return false;
+			}
+		}else {
+			sendMessage(new Message(MessageType.JOIN_REJECT,"SERVER",message.getFrom(),"Please log in first"));
+			return false;
+		}
+		// hold our send lock until JOIN_ACCEPT is written, so another handler's USER_LIST can't reach the client first
+		synchronized(this) {
+			// the user proved who they are, so this connection replaces any older one,
+			// which may be a half-open socket the server hasn't noticed is dead
+			ClientHandler previous = connectedClients.put(name,this);
+			if(previous != null) {
+				System.out.println(name+" logged in again, closing the old connection");
+				previous.close();
+			}
+			username = name;
+			sendMessage(new Message(MessageType.JOIN_ACCEPT,"SERVER",name,token));
+		}
+		return true;
+	}
+	private void close() {
+		try {
+			socket.close();
+		}catch(IOException e) {
+			
 		}
 	}
 	private void handleMessage(Message message) throws IOException {
@@ -52,7 +97,8 @@ public class ClientHandler implements Runnable{
 		case CHAT_ACCEPT:
 		case CHAT_DECLINE:
 		case MESSAGE:
-			sendToUser(message.getTo(),message);
+			// the sender is always the logged-in user, whatever the client put in from
+			sendToUser(message.getTo(),new Message(message.getType(),username,message.getTo(),message.getContent()));
 			break;
 		default:
 			break;
@@ -62,7 +108,7 @@ public class ClientHandler implements Runnable{
 		ClientHandler target = connectedClients.get(targetUsername);
 		if(target != null) target.sendMessage(message);
 	}
-	private void sendMessage(Message message) throws IOException{
+	private synchronized void sendMessage(Message message) throws IOException{
 		out.writeObject(message);
 		out.flush();
 	}
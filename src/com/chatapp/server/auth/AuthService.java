@@ -0,0 +1,80 @@
+package com.chatapp.server.auth;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.*;
+
+// runs password checks on a small bounded pool and caches the session tokens it issues,
+// so a reconnect with a token is a map lookup instead of another password hash
+public class AuthService {
+	private static final long TOKEN_TTL_MILLIS = TimeUnit.HOURS.toMillis(12);
+	private static final long AUTH_TIMEOUT_SECONDS = 10;
+	
+	private final Authenticator authenticator;
+	private final ThreadPoolExecutor workers;
+	private final ConcurrentHashMap<String,Session> sessions = new ConcurrentHashMap<>();
+	private final SecureRandom random = new SecureRandom();
+	
+	private static class Session{
+		final String username;
+		final long expiresAt;
+		Session(String username, long expiresAt){
+			this.username = username;
+			this.expiresAt = expiresAt;
+		}
+	}
+	
+	public AuthService(Authenticator authenticator, int threads, int queueSize) {
+		this.authenticator = authenticator;
+		this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueSize), r -> {
+					Thread t = new Thread(r, "auth-worker");
+					t.setDaemon(true);
+					return t;
+				}, new ThreadPoolExecutor.AbortPolicy());
+	}
+	// returns a new session token, or null if the password is wrong
+	// throws RejectedExecutionException if the check could not be done (queue full, timed out, or failed)
+	public String login(String username, String password) throws RejectedExecutionException {
+		Future<Boolean> result = workers.submit(() -> authenticator.authenticate(username, password));
+		boolean ok;
+		try {
+			ok = result.get(AUTH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		}catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			cancel(result);
+			throw new RejectedExecutionException("Interrupted while waiting for login check", e);
+		}catch(TimeoutException e) {
+			cancel(result);
+			throw new RejectedExecutionException("Login check timed out", e);
+		}catch(ExecutionException e) {
+			throw new RejectedExecutionException("Login check failed", e.getCause());
+		}
+		return ok ? issueToken(username) : null;
+	}
+	// a hash that has already started ignores the interrupt and keeps its worker busy until it finishes;
+	// a cancelled task still queued would hold its slot until dequeued, so take it out of the queue now
+	private void cancel(Future<Boolean> result) {
+		result.cancel(true);
+		workers.remove((Runnable) result);
+	}
+	// returns the username the token was issued to, or null if it is unknown or expired
+	public String resume(String token) {
+		if(token == null) return null;
+		Session session = sessions.get(token);
+		if(session == null) return null;
+		if(session.expiresAt < System.currentTimeMillis()) {
+			sessions.remove(token, session);
+			return null;
+		}
+		return session.username;
+	}
+	private String issueToken(String username) {
+		sessions.values().removeIf(s -> s.expiresAt < System.currentTimeMillis());
+		byte[] bytes = new byte[32];
+		random.nextBytes(bytes);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		sessions.put(token, new Session(username, System.currentTimeMillis() + TOKEN_TTL_MILLIS));
+		return token;
+	}
+}
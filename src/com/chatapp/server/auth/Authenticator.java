@@ -0,0 +1,7 @@
+package com.chatapp.server.auth;
+
+public interface Authenticator {
+	// returns true if the password is valid for the username
+	// implementations may be slow (password hashing), so never call this on a client I/O thread
+	boolean authenticate(String username, String password);
+}
@@ -0,0 +1,95 @@
+package com.chatapp.server.auth;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Properties;
+
+// default provider: username=salt:hash lines in a local properties file
+// unknown usernames are registered on their first JOIN
+public class FileAuthenticator implements Authenticator{
+	private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+	private static final int ITERATIONS = 210000;
+	private static final int KEY_LENGTH = 256;
+	private static final int SALT_LENGTH = 16;
+	
+	private final File file;
+	private final Properties users = new Properties();
+	private final SecureRandom random = new SecureRandom();
+	
+	public FileAuthenticator(File file) {
+		this.file = file;
+		if(file.exists()) {
+			try(Reader reader = new FileReader(file)){
+				users.load(reader);
+			}catch(IOException | IllegalArgumentException e) {
+				// carrying on with an empty store would let anyone re-register an existing name and overwrite the file
+				throw new IllegalStateException("Could not read user store "+file+" : "+e.getMessage(), e);
+			}
+		}
+	}
+	@Override
+	public boolean authenticate(String username, String password) {
+		if(username == null || username.isEmpty() || password == null || password.isEmpty()) return false;
+		String stored;
+		synchronized(users) {
+			stored = users.getProperty(username);
+		}
+		if(stored == null) return register(username, password);
+		String[] parts = stored.split(":");
+		if(parts.length != 2) return false;
+		byte[] salt = Base64.getDecoder().decode(parts[0]);
+		byte[] expected = Base64.getDecoder().decode(parts[1]);
+		return MessageDigest.isEqual(expected, hash(password, salt));
+	}
+	private boolean register(String username, String password) {
+		byte[] salt = new byte[SALT_LENGTH];
+		random.nextBytes(salt);
+		String entry = Base64.getEncoder().encodeToString(salt)+":"+Base64.getEncoder().encodeToString(hash(password, salt));
+		synchronized(users) {
+			if(users.getProperty(username) == null) {
+				users.setProperty(username, entry);
+				try {
+					save();
+				}catch(IOException e) {
+					// don't keep an account that would be gone after a restart
+					users.remove(username);
+					throw new IllegalStateException("Could not save user store "+file+" : "+e.getMessage(), e);
+				}
+				System.out.println("Registered new user "+username);
+				return true;
+			}
+		}
+		// another login for the same name registered it while we were hashing, check against that one
+		return authenticate(username, password);
+	}
+	// writes to a temp file first so a crash mid-write can't truncate the store; caller holds users
+	private void save() throws IOException {
+		File dir = file.getAbsoluteFile().getParentFile();
+		File temp = File.createTempFile("users", ".tmp", dir);
+		try {
+			try(Writer writer = new FileWriter(temp)){
+				users.store(writer, "chat users");
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}finally {
+			Files.deleteIfExists(temp.toPath());
+		}
+	}
+	private byte[] hash(String password, byte[] salt) {
+		PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, ITERATIONS, KEY_LENGTH);
+		try {
+			return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+		}catch(GeneralSecurityException e) {
+			throw new IllegalStateException("Password hashing unavailable", e);
+		}finally {
+			spec.clearPassword();
+		}
+	}
+}